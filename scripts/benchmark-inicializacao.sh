@@ -0,0 +1,34 @@
+#!/usr/bin/env bash
+# Mede o tempo de parede de execuções a frio do Main sobre um CSV pequeno,
+# comparando a execução padrão (mesmas classes, sem CDS da aplicação)
+# com o modo rápido de scripts/executar-rapido.sh.
+#
+# Uso: scripts/benchmark-inicializacao.sh [csv] [rodadas]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+CSV="${1:-data/operacoes.csv}"
+RODADAS="${2:-10}"
+
+scripts/build.sh > /dev/null
+rm -rf build/padrao
+javac -encoding UTF-8 -d build/padrao $(find src -name '*.java')
+
+medir() {
+    local total=0
+    for ((i = 0; i < RODADAS; i++)); do
+        local inicio fim
+        inicio=$(date +%s%N)
+        "$@" > /dev/null
+        fim=$(date +%s%N)
+        total=$((total + (fim - inicio) / 1000000))
+    done
+    echo $((total / RODADAS))
+}
+
+PADRAO=$(medir java -cp build/padrao Main "$CSV")
+RAPIDO=$(medir scripts/executar-rapido.sh "$CSV")
+
+echo "CSV: $CSV | média de $RODADAS execuções a frio"
+echo "Padrão (java -cp) : ${PADRAO} ms"
+echo "Modo rápido (CDS) : ${RAPIDO} ms"
@@ -0,0 +1,25 @@
+#!/usr/bin/env bash
+# Compila o projeto, empacota em build/extrato.jar e gera o arquivo AppCDS estático
+# (build/extrato.jsa) com as classes carregadas numa execução de treino.
+#
+# Uso: scripts/build.sh [csv-de-treino]   (padrão: data/operacoes.csv)
+set -euo pipefail
+
+RAIZ="$(cd "$(dirname "$0")/.." && pwd)"
+cd "$RAIZ"
+TREINO="${1:-data/operacoes.csv}"
+
+rm -rf build
+mkdir -p build/classes
+
+javac -encoding UTF-8 -d build/classes $(find src -name '*.java')
+jar --create --file build/extrato.jar --main-class Main -C build/classes .
+
+# Execução de treino: registra as classes carregadas, incluindo lambdas e as
+# LambdaForms usadas por elas, e gera o arquivo CDS estático a partir da lista.
+# O classpath precisa ser o mesmo usado por scripts/executar-rapido.sh.
+java -XX:DumpLoadedClassList=build/classes.lst -jar "$RAIZ/build/extrato.jar" "$TREINO" > /dev/null
+java -Xshare:dump -XX:SharedClassListFile=build/classes.lst -XX:SharedArchiveFile=build/extrato.jsa \
+    -cp "$RAIZ/build/extrato.jar" > /dev/null
+
+echo "Gerados: build/extrato.jar e build/extrato.jsa"
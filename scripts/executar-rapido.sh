@@ -0,0 +1,18 @@
+#!/usr/bin/env bash
+# Executa o Main em modo de inicialização rápida, indicado para CSVs pequenos:
+# usa o arquivo AppCDS gerado por scripts/build.sh, só o compilador C1 e o Serial GC.
+# Para arquivos grandes prefira "java -jar build/extrato.jar", com JIT completo.
+#
+# Uso: scripts/executar-rapido.sh <caminho-do-arquivo.csv> [charset]
+set -euo pipefail
+
+RAIZ="$(cd "$(dirname "$0")/.." && pwd)"
+
+if [ ! -f "$RAIZ/build/extrato.jsa" ]; then
+    echo "Arquivo CDS não encontrado. Rode scripts/build.sh antes." >&2
+    exit 1
+fi
+
+exec java -XX:SharedArchiveFile="$RAIZ/build/extrato.jsa" \
+    -XX:TieredStopAtLevel=1 -XX:+UseSerialGC \
+    -jar "$RAIZ/build/extrato.jar" "$@"
@@ -1,6 +1,7 @@
 import model.ResultadoValidacao;
 import model.SaldoConta;
 import model.Transacao;
+import report.CacheExtrato;
 import report.ExtratoFormatter;
 import report.RelatorioProcessamento;
 import service.DeduplicadorService;
@@ -8,6 +9,12 @@ import service.LeitorCsv;
 import service.SaldoService;
 import service.ValidadorTransacao;
 
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
 
@@ -22,30 +29,43 @@ import java.util.Map;
  */
 public class Main {
 
+    private static final int CAPACIDADE_CACHE_EXTRATOS = 10_000;
+
     public static void main(String[] args) {
         if (args.length < 1) {
-            System.out.println("Uso: java Main <caminho-do-arquivo.csv>");
-            System.out.println("Exemplo: java Main data/operacoes.csv");
+            System.out.println("Uso: java Main <caminho-do-arquivo.csv> [charset]");
+            System.out.println("Exemplo: java Main data/operacoes.csv ISO-8859-1");
             return;
         }
 
         String caminhoArquivo = args[0];
+        Charset charset = StandardCharsets.UTF_8;
+        if (args.length > 1) {
+            try {
+                charset = Charset.forName(args[1]);
+            } catch (UnsupportedCharsetException | IllegalCharsetNameException e) {
+                System.out.println("Charset inválido: " + args[1]);
+                System.out.println("Uso: java Main <caminho-do-arquivo.csv> [charset]");
+                return;
+            }
+        }
         long inicio = System.currentTimeMillis();
 
-        // 1. LEITURA — I/O puro, retorna linhas brutas
-        LeitorCsv leitor = new LeitorCsv();
-        List<String[]> linhasBrutas = leitor.lerArquivo(caminhoArquivo);
+        // 1-2. LEITURA + VALIDAÇÃO — cada registro é convertido em Transacao assim que lido,
+        // então as linhas brutas nunca ficam todas em memória ao mesmo tempo
+        LeitorCsv leitor = new LeitorCsv(charset);
+        ValidadorTransacao validador = new ValidadorTransacao();
+        ResultadoValidacao resultado = new ResultadoValidacao();
+
+        boolean leituraCompleta = leitor.lerArquivo(caminhoArquivo,
+                registro -> validador.validar(registro, leitor.isTemColunaValor(), resultado));
 
-        if (linhasBrutas.isEmpty()) {
-            System.out.println("Arquivo vazio ou não encontrado.");
+        if (!leituraCompleta || resultado.getLinhasProcessadas() == 0) {
+            System.out.println("Arquivo vazio, não encontrado ou com erro de leitura.");
             return;
         }
 
-        System.out.printf("Linhas lidas do CSV: %d%n", linhasBrutas.size());
-
-        // 2. VALIDAÇÃO — converte String[] em Transacao, separando erros
-        ValidadorTransacao validador = new ValidadorTransacao();
-        ResultadoValidacao resultado = validador.validar(linhasBrutas, leitor.isTemColunaValor());
+        System.out.printf("Linhas lidas do CSV: %d%n", resultado.getLinhasProcessadas());
 
         if (resultado.getValidas().isEmpty()) {
             System.out.println("Nenhuma transação válida encontrada.");
@@ -66,14 +86,23 @@ public class Main {
         SaldoService saldoService = new SaldoService();
         Map<String, SaldoConta> saldos = saldoService.calcular(unicas);
 
-        // 6. APRESENTAÇÃO — formata e exibe extratos
-        ExtratoFormatter formatter = new ExtratoFormatter();
-
+        // 6. APRESENTAÇÃO — formata e exibe extratos (cache opcional via -Dextrato.cache=<arquivo>)
         if (unicas.size() > 10_000) {
             System.out.println("\n[Arquivo grande detectado - exibindo apenas resumo]");
-            formatter.exibirResumido(saldos);
+            new ExtratoFormatter().exibirResumido(saldos);
         } else {
-            formatter.exibirCompleto(saldos);
+            String caminhoCache = System.getProperty("extrato.cache");
+            Path arquivoCache = caminhoCache != null ? Paths.get(caminhoCache) : null;
+            CacheExtrato cache = arquivoCache != null
+                    ? CacheExtrato.carregar(arquivoCache, CAPACIDADE_CACHE_EXTRATOS)
+                    : null;
+
+            new ExtratoFormatter(cache).exibirCompleto(saldos);
+            if (cache != null) {
+                cache.salvar(arquivoCache);
+                System.out.printf("%nCache de extratos: %d reaproveitado(s), %d formatado(s)%n",
+                        cache.getAcertos(), cache.getFalhas());
+            }
         }
 
         long fim = System.currentTimeMillis();
@@ -0,0 +1,46 @@
+package model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Responsabilidade única: formatar data/hora no padrão dd/MM/yyyy HH:mm:ss.
+ *
+ * Equivale a DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss") para anos
+ * de 0 a 9999, mas monta os caracteres diretamente, sem carregar a
+ * infraestrutura de padrões do java.time na inicialização.
+ *
+ * @author Gilcimar Matias
+ * @version 3.0
+ */
+public final class FormatoDataHora {
+
+    private FormatoDataHora() {
+    }
+
+    /**
+     * @param dataHora Data/hora a formatar
+     * @return Texto no formato dd/MM/yyyy HH:mm:ss
+     */
+    public static String formatar(LocalDateTime dataHora) {
+        char[] c = new char[19];
+        doisDigitos(c, 0, dataHora.getDayOfMonth());
+        c[2] = '/';
+        doisDigitos(c, 3, dataHora.getMonthValue());
+        c[5] = '/';
+        int ano = dataHora.getYear();
+        doisDigitos(c, 6, ano / 100);
+        doisDigitos(c, 8, ano % 100);
+        c[10] = ' ';
+        doisDigitos(c, 11, dataHora.getHour());
+        c[13] = ':';
+        doisDigitos(c, 14, dataHora.getMinute());
+        c[16] = ':';
+        doisDigitos(c, 17, dataHora.getSecond());
+        return new String(c);
+    }
+
+    private static void doisDigitos(char[] c, int pos, int valor) {
+        c[pos] = (char) ('0' + valor / 10);
+        c[pos + 1] = (char) ('0' + valor % 10);
+    }
+}
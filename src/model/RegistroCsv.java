@@ -0,0 +1,27 @@
+package model;
+
+/**
+ * Representa um registro lido do CSV, ainda sem validação de conteúdo.
+ * Guarda a linha física onde o registro começa (registros com quebra de linha
+ * entre aspas ocupam várias linhas) e, se houver, o erro de sintaxe encontrado.
+ *
+ * @author Gilcimar Matias
+ * @version 3.0
+ */
+public class RegistroCsv {
+
+    private final int numeroLinha;
+    private final String[] campos;
+    private final String erro;
+
+    public RegistroCsv(int numeroLinha, String[] campos, String erro) {
+        this.numeroLinha = numeroLinha;
+        this.campos = campos;
+        this.erro = erro;
+    }
+
+    public int getNumeroLinha() { return numeroLinha; }
+    public String[] getCampos() { return campos; }
+    public String getErro() { return erro; }
+    public boolean isMalformado() { return erro != null; }
+}
@@ -1,7 +1,6 @@
 package model;
 
 import java.math.BigDecimal;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -54,7 +53,7 @@ public class SaldoConta {
                 String rejeicao = String.format(
                         "SAQUE REJEITADO: R$ %.2f em %s - Saldo disponível: R$ %.2f",
                         transacao.getValor(),
-                        transacao.getDataHora().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss")),
+                        FormatoDataHora.formatar(transacao.getDataHora()),
                         saldo
                 );
                 operacoesRejeitadas.add(rejeicao);
@@ -0,0 +1,199 @@
+package report;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Responsabilidade única: guardar extratos já formatados de cada conta.
+ *
+ * Cada entrada é identificada pela chave da conta e por uma versão
+ * (SHA-256 do conteúdo impresso); se a conta não mudou, o extrato é reaproveitado.
+ * A capacidade é limitada e a conta usada há mais tempo é descartada (LRU).
+ * Opcionalmente o cache pode ser salvo e carregado de um arquivo.
+ *
+ * @author Gilcimar Matias
+ * @version 3.0
+ */
+public class CacheExtrato {
+
+    private static final int ASSINATURA_ARQUIVO = 0x45585432; // "EXT2"
+    private static final int TAMANHO_VERSAO = 32; // SHA-256
+
+    private final int capacidade;
+    private final Map<String, Entrada> entradas;
+    private int acertos = 0;
+    private int falhas = 0;
+
+    /**
+     * @param capacidade Quantidade máxima de contas mantidas no cache
+     */
+    public CacheExtrato(int capacidade) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade do cache deve ser positiva: " + capacidade);
+        }
+        this.capacidade = capacidade;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> maisAntiga) {
+                return size() > CacheExtrato.this.capacidade;
+            }
+        };
+    }
+
+    /**
+     * Busca o extrato de uma conta, desde que esteja na mesma versão.
+     *
+     * @param chave Chave da conta (agencia-conta-banco)
+     * @param versao Versão atual do conteúdo da conta
+     * @return Extrato formatado, ou null se ausente ou desatualizado
+     */
+    public String buscar(String chave, byte[] versao) {
+        Entrada entrada = entradas.get(chave);
+        if (entrada != null && Arrays.equals(entrada.versao, versao)) {
+            acertos++;
+            return entrada.extrato;
+        }
+        falhas++;
+        return null;
+    }
+
+    /**
+     * Guarda (ou substitui) o extrato formatado de uma conta.
+     *
+     * @param versao SHA-256 (32 bytes) do conteúdo da conta
+     */
+    public void guardar(String chave, byte[] versao, String extrato) {
+        if (versao.length != TAMANHO_VERSAO) {
+            throw new IllegalArgumentException("Versão deve ter " + TAMANHO_VERSAO + " bytes: " + versao.length);
+        }
+        entradas.put(chave, new Entrada(versao, extrato));
+    }
+
+    /**
+     * Carrega um cache salvo anteriormente. Se o arquivo não existir
+     * ou estiver corrompido, retorna um cache vazio.
+     *
+     * @param arquivo Caminho do arquivo de cache
+     * @param capacidade Quantidade máxima de contas mantidas no cache
+     * @return Cache carregado
+     */
+    public static CacheExtrato carregar(Path arquivo, int capacidade) {
+        CacheExtrato cache = new CacheExtrato(capacidade);
+        if (!Files.exists(arquivo)) {
+            return cache;
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(arquivo)))) {
+
+            if (in.readInt() != ASSINATURA_ARQUIVO) {
+                System.err.println("Arquivo de cache ignorado (formato desconhecido): " + arquivo);
+                return cache;
+            }
+
+            // Tamanhos lidos do arquivo nunca podem passar do próprio arquivo
+            long tamanhoArquivo = Files.size(arquivo);
+
+            int quantidade = lerTamanho(in, tamanhoArquivo);
+            for (int i = 0; i < quantidade; i++) {
+                String chave = in.readUTF();
+                byte[] versao = new byte[TAMANHO_VERSAO];
+                in.readFully(versao);
+                byte[] extrato = new byte[lerTamanho(in, tamanhoArquivo)];
+                in.readFully(extrato);
+                cache.guardar(chave, versao, new String(extrato, StandardCharsets.UTF_8));
+            }
+
+        } catch (EOFException e) {
+            System.err.println("Erro ao carregar cache de extratos: arquivo truncado");
+            return new CacheExtrato(capacidade);
+        } catch (IOException e) {
+            System.err.println("Erro ao carregar cache de extratos: " + e.getMessage());
+            return new CacheExtrato(capacidade);
+        }
+
+        return cache;
+    }
+
+    /**
+     * Lê um tamanho (quantidade ou bytes) e rejeita valores negativos
+     * ou maiores que o arquivo, típicos de arquivo truncado ou corrompido.
+     */
+    private static int lerTamanho(DataInputStream in, long tamanhoArquivo) throws IOException {
+        int tamanho = in.readInt();
+        if (tamanho < 0 || tamanho > tamanhoArquivo) {
+            throw new IOException("arquivo corrompido (tamanho inválido: " + tamanho + ")");
+        }
+        return tamanho;
+    }
+
+    /**
+     * Salva o conteúdo do cache em arquivo, da conta menos para a mais recente,
+     * preservando a ordem LRU ao carregar. Grava primeiro num arquivo temporário
+     * no mesmo diretório e depois o move atomicamente sobre o destino, para que
+     * uma falha ou execução concorrente nunca deixe o cache pela metade.
+     *
+     * @param arquivo Caminho do arquivo de cache
+     */
+    public void salvar(Path arquivo) {
+        Path destino = arquivo.toAbsolutePath();
+        Path temporario = null;
+
+        try {
+            temporario = Files.createTempFile(destino.getParent(), destino.getFileName().toString(), ".tmp");
+
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporario)))) {
+
+                out.writeInt(ASSINATURA_ARQUIVO);
+                out.writeInt(entradas.size());
+                for (Map.Entry<String, Entrada> e : entradas.entrySet()) {
+                    byte[] extrato = e.getValue().extrato.getBytes(StandardCharsets.UTF_8);
+                    out.writeUTF(e.getKey());
+                    out.write(e.getValue().versao);
+                    out.writeInt(extrato.length);
+                    out.write(extrato);
+                }
+            }
+
+            Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar cache de extratos: " + e.getMessage());
+            if (temporario != null) {
+                try {
+                    Files.deleteIfExists(temporario);
+                } catch (IOException ignorada) {
+                    // O temporário órfão não afeta o cache; nada mais a fazer
+                }
+            }
+        }
+    }
+
+    public int getAcertos() { return acertos; }
+    public int getFalhas() { return falhas; }
+
+    /**
+     * Extrato formatado e a versão das operações a partir da qual foi gerado.
+     */
+    private static class Entrada {
+        private final byte[] versao;
+        private final String extrato;
+
+        private Entrada(byte[] versao, String extrato) {
+            this.versao = versao;
+            this.extrato = extrato;
+        }
+    }
+}
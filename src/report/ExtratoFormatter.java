@@ -1,12 +1,14 @@
 package report;
 
+import model.FormatoDataHora;
 import model.SaldoConta;
 import model.Transacao;
 
 import java.math.BigDecimal;
-import java.time.format.DateTimeFormatter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Responsabilidade única: formatar e exibir extratos bancários.
@@ -17,81 +19,166 @@ import java.util.stream.Collectors;
  */
 public class ExtratoFormatter {
 
-    private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+    private final CacheExtrato cache;
+
+    public ExtratoFormatter() {
+        this(null);
+    }
+
+    /**
+     * @param cache Cache de extratos já formatados; null para sempre formatar
+     */
+    public ExtratoFormatter(CacheExtrato cache) {
+        this.cache = cache;
+    }
 
     /**
      * Exibe extrato completo com histórico de operações e saldos parciais.
+     * Com cache, contas cujas operações não mudaram são exibidas sem reformatar.
      *
-     * @param saldos Mapa com os saldos calculados
+     * @param saldos Mapa com os saldos calculados (chave = agencia-conta-banco)
      */
     public void exibirCompleto(Map<String, SaldoConta> saldos) {
-        System.out.println("\n" + "=".repeat(80));
+        System.out.printf("\n%s%n", "=".repeat(80));
         System.out.println("EXTRATO BANCÁRIO - SALDO FINAL DA CONTA");
         System.out.println("=".repeat(80));
 
-        // Agrupar por titular
-        Map<String, List<SaldoConta>> porTitular = saldos.values().stream()
-                .sorted(Comparator.comparing(SaldoConta::getTitular))
-                .collect(Collectors.groupingBy(SaldoConta::getTitular,
-                        LinkedHashMap::new, Collectors.toList()));
+        // Ordenar por titular
+        List<Map.Entry<String, SaldoConta>> porTitular = new ArrayList<>(saldos.entrySet());
+        porTitular.sort(Comparator.comparing(e -> e.getValue().getTitular()));
 
         BigDecimal saldoTotalGeral = BigDecimal.ZERO;
         int totalRejeitadas = 0;
 
-        for (Map.Entry<String, List<SaldoConta>> entry : porTitular.entrySet()) {
-            for (SaldoConta sc : entry.getValue()) {
-                System.out.println("\n" + "=".repeat(80));
-                System.out.printf("Titular: %s%n", sc.getTitular());
-                System.out.printf("Agência: %s | Conta: %s | Banco: %s%n",
-                        sc.getAgencia(), sc.getConta(), sc.getBanco());
-                System.out.println("-".repeat(80));
-
-                List<Transacao> ops = new ArrayList<>(sc.getOperacoes());
-                ops.sort(Comparator.comparing(Transacao::getDataHora));
-
-                System.out.println("Histórico de Operações:");
-                BigDecimal saldoParcial = BigDecimal.ZERO;
-
-                for (Transacao t : ops) {
-                    String sinal;
-                    if (t.getTipoOperacao().equals("DEPOSITO")) {
-                        saldoParcial = saldoParcial.add(t.getValor());
-                        sinal = "(+)";
-                    } else {
-                        saldoParcial = saldoParcial.subtract(t.getValor());
-                        sinal = "(-)";
-                    }
-                    System.out.printf("  %s | %-8s | R$ %-10.2f | Saldo: R$ %-10.2f | %s%n",
-                            t.getDataHora().format(FMT),
-                            t.getTipoOperacao(),
-                            t.getValor(),
-                            saldoParcial,
-                            sinal);
-                }
+        for (Map.Entry<String, SaldoConta> entry : porTitular) {
+            SaldoConta sc = entry.getValue();
 
-                if (sc.hasOperacoesRejeitadas()) {
-                    System.out.println("\n  OPERAÇÕES REJEITADAS (Saldo Insuficiente):");
-                    for (String rejeicao : sc.getOperacoesRejeitadas()) {
-                        System.out.println("  - " + rejeicao);
-                        totalRejeitadas++;
-                    }
-                }
+            List<Transacao> ops = new ArrayList<>(sc.getOperacoes());
+            ops.sort(Comparator.comparing(Transacao::getDataHora));
 
-                System.out.printf("%nSALDO FINAL: R$ %.2f%n", sc.getSaldo());
-                saldoTotalGeral = saldoTotalGeral.add(sc.getSaldo());
+            String extrato = null;
+            byte[] versao = null;
+            if (cache != null) {
+                versao = calcularVersao(sc, ops);
+                extrato = cache.buscar(entry.getKey(), versao);
             }
+            if (extrato == null) {
+                extrato = formatarConta(sc, ops);
+                if (cache != null) {
+                    cache.guardar(entry.getKey(), versao, extrato);
+                }
+            }
+            System.out.print(extrato);
+
+            totalRejeitadas += sc.getOperacoesRejeitadas().size();
+            saldoTotalGeral = saldoTotalGeral.add(sc.getSaldo());
         }
 
         exibirResumoFinal(saldoTotalGeral, totalRejeitadas);
     }
 
+    /**
+     * Formata o bloco de uma conta: cabeçalho, histórico com saldos parciais,
+     * rejeições e saldo final.
+     *
+     * @param sc Conta a formatar
+     * @param ops Operações da conta em ordem cronológica
+     * @return Texto do bloco, pronto para impressão
+     */
+    private String formatarConta(SaldoConta sc, List<Transacao> ops) {
+        StringBuilder sb = new StringBuilder();
+        Formatter out = new Formatter(sb);
+
+        out.format("\n%s%n", "=".repeat(80));
+        out.format("Titular: %s%n", sc.getTitular());
+        out.format("Agência: %s | Conta: %s | Banco: %s%n",
+                sc.getAgencia(), sc.getConta(), sc.getBanco());
+        out.format("%s%n", "-".repeat(80));
+
+        out.format("Histórico de Operações:%n");
+        BigDecimal saldoParcial = BigDecimal.ZERO;
+
+        for (Transacao t : ops) {
+            String sinal;
+            if (t.getTipoOperacao().equals("DEPOSITO")) {
+                saldoParcial = saldoParcial.add(t.getValor());
+                sinal = "(+)";
+            } else {
+                saldoParcial = saldoParcial.subtract(t.getValor());
+                sinal = "(-)";
+            }
+            out.format("  %s | %-8s | R$ %-10.2f | Saldo: R$ %-10.2f | %s%n",
+                    FormatoDataHora.formatar(t.getDataHora()),
+                    t.getTipoOperacao(),
+                    t.getValor(),
+                    saldoParcial,
+                    sinal);
+        }
+
+        if (sc.hasOperacoesRejeitadas()) {
+            out.format("\n  OPERAÇÕES REJEITADAS (Saldo Insuficiente):%n");
+            for (String rejeicao : sc.getOperacoesRejeitadas()) {
+                out.format("  - %s%n", rejeicao);
+            }
+        }
+
+        out.format("%nSALDO FINAL: R$ %.2f%n", sc.getSaldo());
+        return sb.toString();
+    }
+
+    /**
+     * Calcula a versão do conteúdo de uma conta: SHA-256 de uma serialização
+     * canônica de tudo que aparece no bloco impresso (dados da conta, operações,
+     * rejeições e saldo final), além do locale e do separador de linha usados
+     * na formatação. Cada campo entra prefixado pelo tamanho, sem ambiguidade.
+     */
+    private byte[] calcularVersao(SaldoConta sc, List<Transacao> ops) {
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível na JVM", e);
+        }
+
+        adicionarAoDigest(sha, Locale.getDefault(Locale.Category.FORMAT).toLanguageTag());
+        adicionarAoDigest(sha, System.lineSeparator());
+        adicionarAoDigest(sha, sc.getTitular());
+        adicionarAoDigest(sha, sc.getAgencia());
+        adicionarAoDigest(sha, sc.getConta());
+        adicionarAoDigest(sha, sc.getBanco());
+
+        adicionarAoDigest(sha, Integer.toString(ops.size()));
+        for (Transacao t : ops) {
+            adicionarAoDigest(sha, t.getTipoOperacao());
+            adicionarAoDigest(sha, t.getDataHora().toString());
+            adicionarAoDigest(sha, t.getValor().toPlainString());
+        }
+
+        adicionarAoDigest(sha, Integer.toString(sc.getOperacoesRejeitadas().size()));
+        for (String rejeicao : sc.getOperacoesRejeitadas()) {
+            adicionarAoDigest(sha, rejeicao);
+        }
+
+        adicionarAoDigest(sha, sc.getSaldo().toPlainString());
+        return sha.digest();
+    }
+
+    private void adicionarAoDigest(MessageDigest sha, String campo) {
+        byte[] bytes = campo.getBytes(StandardCharsets.UTF_8);
+        sha.update((byte) (bytes.length >>> 24));
+        sha.update((byte) (bytes.length >>> 16));
+        sha.update((byte) (bytes.length >>> 8));
+        sha.update((byte) bytes.length);
+        sha.update(bytes);
+    }
+
     /**
      * Exibe apenas os saldos finais de cada conta (modo resumido).
      *
      * @param saldos Mapa com os saldos calculados
      */
     public void exibirResumido(Map<String, SaldoConta> saldos) {
-        System.out.println("\n" + "=".repeat(80));
+        System.out.printf("\n%s%n", "=".repeat(80));
         System.out.println("SALDOS FINAIS POR CONTA");
         System.out.println("=".repeat(80));
 
@@ -128,7 +215,7 @@ public class ExtratoFormatter {
      * Exibe o resumo final do extrato completo.
      */
     private void exibirResumoFinal(BigDecimal saldoTotal, int totalRejeitadas) {
-        System.out.println("\n" + "=".repeat(80));
+        System.out.printf("\n%s%n", "=".repeat(80));
         System.out.println("RESUMO FINAL:");
         System.out.printf("  Saldo total geral: R$ %.2f%n", saldoTotal);
         System.out.printf("  Total de operações rejeitadas: %d%n", totalRejeitadas);
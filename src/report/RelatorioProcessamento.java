@@ -19,16 +19,16 @@ public class RelatorioProcessamento {
      */
     public void exibir(ResultadoValidacao resultado, int duplicatasRemovidas) {
         System.out.println("\n=== RELATÓRIO DE PROCESSAMENTO ===");
-        System.out.println("Linhas processadas   : " + resultado.getLinhasProcessadas());
-        System.out.println("Linhas com erro      : " + resultado.getTotalErros());
-        System.out.println("Duplicatas removidas : " + duplicatasRemovidas);
-        System.out.println("Operações válidas    : " +
-                (resultado.getValidas().size() - duplicatasRemovidas));
+        System.out.printf("Linhas processadas   : %d%n", resultado.getLinhasProcessadas());
+        System.out.printf("Linhas com erro      : %d%n", resultado.getTotalErros());
+        System.out.printf("Duplicatas removidas : %d%n", duplicatasRemovidas);
+        System.out.printf("Operações válidas    : %d%n",
+                resultado.getValidas().size() - duplicatasRemovidas);
 
         if (resultado.hasErros()) {
             System.out.println("\nErros encontrados:");
             for (String erro : resultado.getErros()) {
-                System.out.println("  " + erro);
+                System.out.printf("  %s%n", erro);
             }
         }
     }
@@ -0,0 +1,31 @@
+package service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Responsabilidade única: manter uma instância canônica para cada valor
+ * repetido do CSV (banco, titular, agência, conta).
+ *
+ * Esses campos têm poucos valores distintos comparados ao número de linhas;
+ * compartilhar a mesma String reduz a memória retida pelas transações.
+ * Não é thread-safe: cada ValidadorTransacao possui o seu.
+ *
+ * @author Gilcimar Matias
+ * @version 3.0
+ */
+public class DicionarioCampos {
+
+    private final Map<String, String> canonicos = new HashMap<>();
+
+    /**
+     * Retorna a instância canônica do valor, registrando-o se for novo.
+     *
+     * @param valor Valor lido do CSV
+     * @return Instância compartilhada igual a valor
+     */
+    public String canonico(String valor) {
+        String existente = canonicos.putIfAbsent(valor, valor);
+        return existente != null ? existente : valor;
+    }
+}
@@ -1,52 +1,146 @@
 package service;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import model.RegistroCsv;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Responsabilidade única: leitura do arquivo CSV.
  * Não valida, não converte, não deduplica.
  * Apenas lê as linhas brutas e detecta se há coluna VALOR.
+ * Arquivos compactados em GZIP são descompactados em streaming, sem arquivo temporário.
+ * A codificação é explícita (UTF-8 por padrão) e os campos seguem a RFC 4180.
  *
  * @author Gilcimar Matias
  * @version 3.0
  */
 public class LeitorCsv {
 
+    private static final int TAMANHO_BUFFER = 1024 * 1024;
+    private static final int GZIP_MAGIC_1 = 0x1f;
+    private static final int GZIP_MAGIC_2 = 0x8b;
+    private static final char BOM = '\uFEFF';
+
+    private final Charset charset;
     private boolean temColunaValor = false;
 
+    public LeitorCsv() {
+        this(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param charset Codificação do arquivo (ex.: UTF-8 ou ISO-8859-1)
+     */
+    public LeitorCsv(Charset charset) {
+        this.charset = charset;
+    }
+
     /**
      * Lê um arquivo CSV e retorna as linhas brutas (sem o header).
+     * Guarda todos os registros em memória; para arquivos grandes prefira
+     * {@link #lerArquivo(String, Consumer)}, que entrega um registro por vez.
      *
-     * @param caminho Caminho completo para o arquivo CSV
-     * @return Lista de arrays de String, cada um representando os campos de uma linha
+     * @param caminho Caminho completo para o arquivo CSV (puro ou .gz)
+     * @return Registros do CSV, com os campos e a linha física de cada um;
+     *         vazia se o arquivo não puder ser lido por completo
      */
-    public List<String[]> lerArquivo(String caminho) {
-        List<String[]> linhas = new ArrayList<>();
+    public List<RegistroCsv> lerArquivo(String caminho) {
+        List<RegistroCsv> linhas = new ArrayList<>();
+        if (!lerArquivo(caminho, linhas::add)) {
+            linhas.clear();
+        }
+        return linhas;
+    }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(caminho), 1024 * 1024)) {
+    /**
+     * Lê um arquivo CSV e entrega cada registro (sem o header) ao destino,
+     * assim que é lido, sem acumular as linhas brutas.
+     * O formato GZIP é detectado pelos bytes iniciais, independente da extensão.
+     * Bytes inválidos para o charset configurado interrompem a leitura com erro,
+     * em vez de serem trocados silenciosamente por U+FFFD.
+     * Se a leitura falhar no meio (ex.: .gz truncado) o retorno é false e o
+     * chamador deve descartar o que já recebeu: o arquivo está incompleto.
+     *
+     * @param caminho Caminho completo para o arquivo CSV (puro ou .gz)
+     * @param destino Recebe cada registro não vazio, na ordem do arquivo
+     * @return true se o arquivo foi lido por completo
+     */
+    public boolean lerArquivo(String caminho, Consumer<RegistroCsv> destino) {
+        try (Reader reader = new InputStreamReader(abrirEntrada(caminho), charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT))) {
+            TokenizadorCsv tokenizador = new TokenizadorCsv(reader);
 
-            String header = br.readLine();
-            if (header != null) {
-                temColunaValor = header.toUpperCase().contains("VALOR");
+            RegistroCsv registroHeader = tokenizador.proximoRegistro();
+            if (registroHeader != null) {
+                String[] header = registroHeader.getCampos();
+                if (!header[0].isEmpty() && header[0].charAt(0) == BOM) {
+                    header[0] = header[0].substring(1);
+                }
+                temColunaValor = String.join(",", header).toUpperCase().contains("VALOR");
             }
 
-            String linha;
-            while ((linha = br.readLine()) != null) {
-                if (!linha.isBlank()) {
-                    linhas.add(linha.split(","));
+            RegistroCsv registro;
+            while ((registro = tokenizador.proximoRegistro()) != null) {
+                if (!isRegistroVazio(registro.getCampos())) {
+                    destino.accept(registro);
                 }
             }
+            return true;
 
+        } catch (CharacterCodingException e) {
+            System.err.println("Erro ao ler arquivo: conteúdo inválido para o charset " + charset.name() +
+                    ". Informe o charset correto como 2º argumento (ex.: ISO-8859-1).");
         } catch (IOException e) {
             System.err.println("Erro ao ler arquivo: " + e.getMessage());
             e.printStackTrace();
         }
 
-        return linhas;
+        return false;
+    }
+
+    /**
+     * Um registro vazio é uma linha em branco: um único campo sem conteúdo.
+     */
+    private boolean isRegistroVazio(String[] campos) {
+        return campos.length == 1 && campos[0].isBlank();
+    }
+
+    /**
+     * Abre o arquivo e, se os dois primeiros bytes forem o cabeçalho GZIP,
+     * encadeia a descompactação. Arquivos com vários membros GZIP
+     * concatenados são lidos em sequência.
+     */
+    private InputStream abrirEntrada(String caminho) throws IOException {
+        InputStream entrada = new BufferedInputStream(new FileInputStream(caminho), TAMANHO_BUFFER);
+
+        try {
+            entrada.mark(2);
+            int b1 = entrada.read();
+            int b2 = entrada.read();
+            entrada.reset();
+
+            if (b1 == GZIP_MAGIC_1 && b2 == GZIP_MAGIC_2) {
+                return new GZIPInputStream(entrada, TAMANHO_BUFFER);
+            }
+            return entrada;
+        } catch (IOException e) {
+            entrada.close();
+            throw e;
+        }
     }
 
     /**
@@ -55,4 +149,4 @@ public class LeitorCsv {
     public boolean isTemColunaValor() {
         return temColunaValor;
     }
-}
\ No newline at end of file
+}
@@ -44,6 +44,6 @@ public class SaldoService {
      * Gera chave única para identificar uma conta.
      */
     private String gerarChaveConta(Transacao t) {
-        return t.getAgencia() + "-" + t.getConta() + "-" + t.getBanco();
+        return String.join("-", t.getAgencia(), t.getConta(), t.getBanco());
     }
 }
\ No newline at end of file
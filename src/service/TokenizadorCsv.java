@@ -0,0 +1,211 @@
+package service;
+
+import model.RegistroCsv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Responsabilidade única: quebrar um fluxo de caracteres em registros CSV (RFC 4180).
+ * Trata campos entre aspas (com vírgula, aspas duplicadas e quebra de linha internas)
+ * e finais de linha LF ou CRLF. Um '\r' isolado (sem '\n' em seguida) não encerra
+ * o registro: fica como conteúdo do campo, nos dois caminhos.
+ *
+ * Aspas fora da RFC (no meio de um campo, texto após as aspas de fechamento
+ * ou aspas não fechadas) marcam o registro como malformado; os campos ainda são
+ * devolvidos para que a leitura continue no registro seguinte.
+ *
+ * Linhas sem aspas seguem um caminho rápido que corta os campos direto do buffer,
+ * sem passar pela máquina de estados.
+ *
+ * @author Gilcimar Matias
+ * @version 3.0
+ */
+public class TokenizadorCsv {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final char SEPARADOR = ',';
+    private static final char ASPAS = '"';
+
+    private final Reader entrada;
+    private char[] buffer = new char[TAMANHO_BUFFER];
+    private int pos = 0;
+    private int limite = 0;
+    private boolean fimEntrada = false;
+    private int linha = 1;
+
+    private final List<String> campos = new ArrayList<>();
+    private final StringBuilder campo = new StringBuilder();
+
+    public TokenizadorCsv(Reader entrada) {
+        this.entrada = entrada;
+    }
+
+    /**
+     * Lê o próximo registro do fluxo.
+     *
+     * @return Registro com os campos e a linha física onde começa, ou null ao fim da entrada
+     * @throws IOException Se a leitura falhar
+     */
+    public RegistroCsv proximoRegistro() throws IOException {
+        if (pos >= limite && !preencher()) {
+            return null;
+        }
+
+        int fimLinha = localizarFimLinhaSemAspas();
+        if (fimLinha >= 0) {
+            return cortarLinhaSimples(fimLinha);
+        }
+        return lerRegistroComAspas();
+    }
+
+    /**
+     * Procura o fim da linha atual dentro do buffer, carregando mais dados se preciso.
+     *
+     * @return Índice do '\n' (ou do limite, se for a última linha sem quebra),
+     *         ou -1 se a linha contiver aspas
+     */
+    private int localizarFimLinhaSemAspas() throws IOException {
+        int i = pos;
+        while (true) {
+            for (; i < limite; i++) {
+                char c = buffer[i];
+                if (c == '\n') return i;
+                if (c == ASPAS) return -1;
+            }
+            int deslocamento = pos;
+            if (!preencher()) {
+                return limite;
+            }
+            i -= deslocamento - pos;
+        }
+    }
+
+    /**
+     * Caminho rápido: a linha [pos, fimLinha) não tem aspas, basta cortar nas vírgulas.
+     */
+    private RegistroCsv cortarLinhaSimples(int fimLinha) {
+        int numeroLinha = linha;
+        int fim = fimLinha;
+        boolean terminouComLf = fimLinha < limite;
+        if (terminouComLf) {
+            linha++;
+        }
+        if (terminouComLf && fim > pos && buffer[fim - 1] == '\r') {
+            fim--;
+        }
+
+        campos.clear();
+        int inicio = pos;
+        for (int i = pos; i < fim; i++) {
+            if (buffer[i] == SEPARADOR) {
+                campos.add(new String(buffer, inicio, i - inicio));
+                inicio = i + 1;
+            }
+        }
+        campos.add(new String(buffer, inicio, fim - inicio));
+
+        pos = Math.min(fimLinha + 1, limite);
+        return new RegistroCsv(numeroLinha, campos.toArray(new String[0]), null);
+    }
+
+    /**
+     * Caminho geral: máquina de estados RFC 4180, caractere a caractere.
+     */
+    private RegistroCsv lerRegistroComAspas() throws IOException {
+        int numeroLinha = linha;
+        campos.clear();
+        campo.setLength(0);
+        boolean entreAspas = false;
+        boolean aspasFechadas = false; // o campo atual já teve suas aspas fechadas
+        String erro = null;
+
+        while (pos < limite || preencher()) {
+            char c = buffer[pos++];
+
+            if (entreAspas) {
+                if (c == '\n') {
+                    linha++;
+                }
+                if (c != ASPAS) {
+                    campo.append(c);
+                } else if ((pos < limite || preencher()) && buffer[pos] == ASPAS) {
+                    campo.append(ASPAS);
+                    pos++;
+                } else {
+                    entreAspas = false;
+                    aspasFechadas = true;
+                }
+            } else if (c == SEPARADOR) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+                aspasFechadas = false;
+            } else if (c == '\n') {
+                linha++;
+                return finalizarRegistro(numeroLinha, erro);
+            } else if (c == '\r' && (pos < limite || preencher()) && buffer[pos] == '\n') {
+                pos++;
+                linha++;
+                return finalizarRegistro(numeroLinha, erro);
+            } else if (aspasFechadas || (c == ASPAS && campo.length() > 0)) {
+                // Fora da RFC: mantém o conteúdo para seguir adiante, mas marca o erro
+                if (erro == null) {
+                    erro = "Aspas malformadas: aspas no meio do campo ou texto após as aspas de fechamento.";
+                }
+                if (c == ASPAS) {
+                    entreAspas = true;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == ASPAS) {
+                entreAspas = true;
+            } else {
+                campo.append(c);
+            }
+        }
+
+        if (entreAspas && erro == null) {
+            erro = "Aspas não fechadas até o fim do arquivo.";
+        }
+        return finalizarRegistro(numeroLinha, erro);
+    }
+
+    private RegistroCsv finalizarRegistro(int numeroLinha, String erro) {
+        campos.add(campo.toString());
+        campo.setLength(0);
+        return new RegistroCsv(numeroLinha, campos.toArray(new String[0]), erro);
+    }
+
+    /**
+     * Move os dados pendentes para o início do buffer (dobrando-o se estiver cheio)
+     * e lê mais caracteres da entrada.
+     *
+     * @return false se não houver mais nada a ler
+     */
+    private boolean preencher() throws IOException {
+        if (fimEntrada) {
+            return false;
+        }
+
+        int pendentes = limite - pos;
+        if (pendentes == buffer.length) {
+            char[] maior = new char[buffer.length * 2];
+            System.arraycopy(buffer, pos, maior, 0, pendentes);
+            buffer = maior;
+        } else if (pos > 0) {
+            System.arraycopy(buffer, pos, buffer, 0, pendentes);
+        }
+        pos = 0;
+        limite = pendentes;
+
+        int lidos = entrada.read(buffer, limite, buffer.length - limite);
+        if (lidos < 0) {
+            fimEntrada = true;
+            return false;
+        }
+        limite += lidos;
+        return true;
+    }
+}
@@ -1,51 +1,72 @@
 package service;
 
+import model.RegistroCsv;
 import model.ResultadoValidacao;
 import model.Transacao;
 
 import java.math.BigDecimal;
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.List;
 
 /**
  * Responsabilidade única: validar campos e converter String[] em Transacao.
  * Não lê arquivos, não deduplica, não calcula saldos.
+ * Campos repetidos (agência, conta, banco, titular, operação) são
+ * canonicalizados para que todas as transações compartilhem as mesmas Strings.
  *
  * @author Gilcimar Matias
  * @version 3.0
  */
 public class ValidadorTransacao {
 
-    private static final DateTimeFormatter FORMATADOR_DATA = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
     private static final int TAMANHO_CORRETO_DATA = 19;
+    private static final String SAQUE = "SAQUE";
+    private static final String DEPOSITO = "DEPOSITO";
+
+    private final DicionarioCampos dicionario = new DicionarioCampos();
 
     /**
-     * Valida uma lista de linhas brutas do CSV e retorna o resultado.
+     * Valida os registros brutos do CSV e retorna o resultado.
+     * Erros são reportados com a linha física onde o registro começa.
      *
-     * @param linhasBrutas Lista de arrays de campos
+     * @param registros Registros lidos do CSV
      * @param temColunaValor Se o CSV possui coluna VALOR
      * @return ResultadoValidacao com transações válidas e erros
      */
-    public ResultadoValidacao validar(List<String[]> linhasBrutas, boolean temColunaValor) {
+    public ResultadoValidacao validar(List<RegistroCsv> registros, boolean temColunaValor) {
         ResultadoValidacao resultado = new ResultadoValidacao();
 
-        for (int i = 0; i < linhasBrutas.size(); i++) {
-            resultado.incrementarLinhasProcessadas();
-            int numeroLinha = i + 2; // +2 porque linha 1 é header e índice começa em 0
-
-            try {
-                Transacao transacao = converter(linhasBrutas.get(i), numeroLinha, temColunaValor);
-                resultado.adicionarValida(transacao);
-            } catch (IllegalArgumentException e) {
-                resultado.adicionarErro("Linha " + numeroLinha + ": " + e.getMessage());
-            }
+        for (RegistroCsv registro : registros) {
+            validar(registro, temColunaValor, resultado);
         }
 
         return resultado;
     }
 
+    /**
+     * Valida um único registro e acumula o resultado. Permite validar durante
+     * a leitura, para que o registro bruto possa ser descartado logo em seguida.
+     *
+     * @param registro Registro lido do CSV
+     * @param temColunaValor Se o CSV possui coluna VALOR
+     * @param resultado Resultado onde a transação ou o erro são acumulados
+     */
+    public void validar(RegistroCsv registro, boolean temColunaValor, ResultadoValidacao resultado) {
+        resultado.incrementarLinhasProcessadas();
+        int numeroLinha = registro.getNumeroLinha();
+
+        try {
+            if (registro.isMalformado()) {
+                throw new IllegalArgumentException(registro.getErro());
+            }
+            Transacao transacao = converter(registro.getCampos(), numeroLinha, temColunaValor);
+            resultado.adicionarValida(transacao);
+        } catch (IllegalArgumentException e) {
+            resultado.adicionarErro(String.format("Linha %d: %s", numeroLinha, e.getMessage()));
+        }
+    }
+
     /**
      * Converte um array de campos em um objeto Transacao, validando cada campo.
      *
@@ -60,7 +81,7 @@ public class ValidadorTransacao {
 
         if (campos.length < minCampos) {
             throw new IllegalArgumentException(
-                    "Campos insuficientes. Esperado: " + minCampos + ", encontrado: " + campos.length
+                    String.format("Campos insuficientes. Esperado: %d, encontrado: %d", minCampos, campos.length)
             );
         }
 
@@ -78,30 +99,22 @@ public class ValidadorTransacao {
         }
 
         // Validação do tipo de operação
-        if (!operacao.equals("SAQUE") && !operacao.equals("DEPOSITO")) {
+        if (!operacao.equals(SAQUE) && !operacao.equals(DEPOSITO)) {
             throw new IllegalArgumentException(
-                    "Operação inválida: " + operacao + ". Deve ser SAQUE ou DEPOSITO."
+                    String.format("Operação inválida: %s. Deve ser SAQUE ou DEPOSITO.", operacao)
             );
         }
 
         // Validação do tamanho da data/hora
         if (dataHoraStr.length() != TAMANHO_CORRETO_DATA) {
             throw new IllegalArgumentException(
-                    "Data/Hora com tamanho incorreto. Esperado: " + TAMANHO_CORRETO_DATA +
-                            ", encontrado: " + dataHoraStr.length() + ". Valor: " + dataHoraStr
+                    String.format("Data/Hora com tamanho incorreto. Esperado: %d, encontrado: %d. Valor: %s",
+                            TAMANHO_CORRETO_DATA, dataHoraStr.length(), dataHoraStr)
             );
         }
 
         // Parse da data/hora
-        LocalDateTime dataHora;
-        try {
-            dataHora = LocalDateTime.parse(dataHoraStr, FORMATADOR_DATA);
-        } catch (DateTimeParseException e) {
-            throw new IllegalArgumentException(
-                    "Data/Hora em formato inválido: " + dataHoraStr +
-                            ". Formato esperado: yyyy-MM-ddTHH:mm:ss"
-            );
-        }
+        LocalDateTime dataHora = converterDataHora(dataHoraStr);
 
         // Valor
         BigDecimal valor;
@@ -113,15 +126,83 @@ public class ValidadorTransacao {
             try {
                 valor = new BigDecimal(valorStr);
                 if (valor.compareTo(BigDecimal.ZERO) <= 0) {
-                    throw new IllegalArgumentException("Valor deve ser positivo: " + valorStr);
+                    throw new IllegalArgumentException(String.format("Valor deve ser positivo: %s", valorStr));
                 }
             } catch (NumberFormatException e) {
-                throw new IllegalArgumentException("Valor inválido: " + valorStr);
+                throw new IllegalArgumentException(String.format("Valor inválido: %s", valorStr));
             }
         } else {
             valor = BigDecimal.ONE;
         }
 
-        return new Transacao(agencia, conta, banco, titular, operacao, dataHora, valor);
+        return new Transacao(
+                dicionario.canonico(agencia),
+                dicionario.canonico(conta),
+                dicionario.canonico(banco),
+                dicionario.canonico(titular),
+                operacao.equals(SAQUE) ? SAQUE : DEPOSITO,
+                dataHora,
+                valor
+        );
+    }
+
+    /**
+     * Converte uma data/hora no formato yyyy-MM-ddTHH:mm:ss (já com 19 caracteres).
+     * Lê os dígitos por posição em vez de usar DateTimeFormatter.ISO_LOCAL_DATE_TIME,
+     * evitando inicializar o parser do java.time; a validação de calendário
+     * (mês, dia, hora etc.) continua estrita via LocalDateTime.of. Assim como o
+     * ISO_LOCAL_DATE_TIME, que não diferencia maiúsculas, aceita 'T' ou 't'.
+     *
+     * @param dataHoraStr Data/hora lida do CSV
+     * @return LocalDateTime correspondente
+     * @throws IllegalArgumentException Se o formato ou a data forem inválidos
+     */
+    private LocalDateTime converterDataHora(String dataHoraStr) {
+        char separador = dataHoraStr.charAt(10);
+        if (dataHoraStr.charAt(4) != '-' || dataHoraStr.charAt(7) != '-' || (separador != 'T' && separador != 't') ||
+                dataHoraStr.charAt(13) != ':' || dataHoraStr.charAt(16) != ':') {
+            throw dataHoraInvalida(dataHoraStr);
+        }
+
+        int ano     = lerDigitos(dataHoraStr, 0, 4);
+        int mes     = lerDigitos(dataHoraStr, 5, 2);
+        int dia     = lerDigitos(dataHoraStr, 8, 2);
+        int hora    = lerDigitos(dataHoraStr, 11, 2);
+        int minuto  = lerDigitos(dataHoraStr, 14, 2);
+        int segundo = lerDigitos(dataHoraStr, 17, 2);
+
+        if (ano < 0 || mes < 0 || dia < 0 || hora < 0 || minuto < 0 || segundo < 0) {
+            throw dataHoraInvalida(dataHoraStr);
+        }
+
+        try {
+            return LocalDateTime.of(ano, mes, dia, hora, minuto, segundo);
+        } catch (DateTimeException e) {
+            throw dataHoraInvalida(dataHoraStr);
+        }
+    }
+
+    /**
+     * Lê um número de tamanho fixo a partir de uma posição.
+     *
+     * @return O número lido, ou -1 se houver caractere que não seja dígito
+     */
+    private int lerDigitos(String texto, int inicio, int tamanho) {
+        int numero = 0;
+        for (int i = inicio; i < inicio + tamanho; i++) {
+            char c = texto.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            numero = numero * 10 + (c - '0');
+        }
+        return numero;
+    }
+
+    private IllegalArgumentException dataHoraInvalida(String dataHoraStr) {
+        return new IllegalArgumentException(
+                String.format("Data/Hora em formato inválido: %s. Formato esperado: yyyy-MM-ddTHH:mm:ss",
+                        dataHoraStr)
+        );
     }
 }
\ No newline at end of file
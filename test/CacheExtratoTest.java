@@ -0,0 +1,169 @@
+import model.SaldoConta;
+import model.Transacao;
+import report.CacheExtrato;
+import report.ExtratoFormatter;
+import service.SaldoService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Classe de teste para o CacheExtrato e seu uso pelo ExtratoFormatter.
+ *
+ * @author Gilcimar Matias
+ * @version 3.0
+ */
+public class CacheExtratoTest {
+
+    private static final int ASSINATURA_ARQUIVO = 0x45585432; // "EXT2"
+
+    private static int falhas = 0;
+
+    public static void main(String[] args) throws IOException {
+        Locale.setDefault(Locale.US);
+
+        verificarDespejoLru();
+        verificarPersistenciaPreservaOrdemLru();
+        verificarArquivosCorrompidos();
+        verificarMudancaDeDataEValor();
+
+        if (falhas > 0) {
+            System.out.println(falhas + " caso(s) falharam.");
+            System.exit(1);
+        }
+        System.out.println("Todos os casos passaram.");
+    }
+
+    private static void verificarDespejoLru() {
+        CacheExtrato cache = new CacheExtrato(2);
+        cache.guardar("a", versao(1), "A");
+        cache.guardar("b", versao(2), "B");
+        cache.buscar("a", versao(1)); // "b" passa a ser a menos usada
+        cache.guardar("c", versao(3), "C");
+
+        verificar("LRU: 'b' despejada", cache.buscar("b", versao(2)) == null);
+        verificar("LRU: 'a' mantida", "A".equals(cache.buscar("a", versao(1))));
+        verificar("LRU: 'c' mantida", "C".equals(cache.buscar("c", versao(3))));
+        verificar("versão diferente não é acerto", cache.buscar("a", versao(9)) == null);
+    }
+
+    private static void verificarPersistenciaPreservaOrdemLru() throws IOException {
+        Path arquivo = Files.createTempFile("cache-extrato", ".bin");
+        try {
+            CacheExtrato cache = new CacheExtrato(3);
+            cache.guardar("a", versao(1), "A");
+            cache.guardar("b", versao(2), "B");
+            cache.guardar("c", versao(3), "Extrato com acentuação");
+            cache.buscar("a", versao(1)); // ordem LRU: b, c, a
+            cache.salvar(arquivo);
+
+            CacheExtrato carregado = CacheExtrato.carregar(arquivo, 3);
+            carregado.guardar("d", versao(4), "D"); // deve despejar "b"
+
+            verificar("persistência: 'b' despejada após carregar", carregado.buscar("b", versao(2)) == null);
+            verificar("persistência: 'a' mantida", "A".equals(carregado.buscar("a", versao(1))));
+            verificar("persistência: conteúdo UTF-8 preservado",
+                    "Extrato com acentuação".equals(carregado.buscar("c", versao(3))));
+            verificar("persistência: 'd' mantida", "D".equals(carregado.buscar("d", versao(4))));
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    private static void verificarArquivosCorrompidos() throws IOException {
+        Path arquivo = Files.createTempFile("cache-extrato-corrompido", ".bin");
+        try {
+            Files.write(arquivo, arquivoComTamanhoDeExtrato(-5));
+            verificar("tamanho negativo carrega vazio", CacheExtrato.carregar(arquivo, 10).buscar("k", versao(1)) == null);
+
+            Files.write(arquivo, arquivoComTamanhoDeExtrato(2_000_000_000));
+            verificar("tamanho exagerado carrega vazio", CacheExtrato.carregar(arquivo, 10).buscar("k", versao(1)) == null);
+
+            CacheExtrato cache = new CacheExtrato(10);
+            cache.guardar("k", versao(1), "K");
+            cache.guardar("z", versao(2), "Z".repeat(100));
+            cache.salvar(arquivo);
+            byte[] bytes = Files.readAllBytes(arquivo);
+            Files.write(arquivo, Arrays.copyOf(bytes, bytes.length - 10));
+            verificar("arquivo truncado carrega vazio", CacheExtrato.carregar(arquivo, 10).buscar("k", versao(1)) == null);
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    /**
+     * Regressão: mudar a data em um dia e o valor em 1 centavo colidia no hash
+     * antigo e o bloco desatualizado era servido do cache.
+     */
+    private static void verificarMudancaDeDataEValor() throws IOException {
+        Path arquivo = Files.createTempFile("cache-extrato-regressao", ".bin");
+        Files.delete(arquivo);
+        try {
+            exibirComCache(arquivo, LocalDateTime.of(2022, 2, 1, 0, 0), "10.00");
+            String segunda = exibirComCache(arquivo, LocalDateTime.of(2022, 2, 2, 0, 0), "9.99");
+
+            verificar("data/valor alterados reformatam o bloco",
+                    segunda.contains("02/02/2022 00:00:00") && segunda.contains("SALDO FINAL: R$ 9.99")
+                            && !segunda.contains("10.00"));
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    private static String exibirComCache(Path arquivo, LocalDateTime dataHora, String valor) {
+        Transacao t = new Transacao("1", "1", "X", "ANA", "DEPOSITO", dataHora, new BigDecimal(valor));
+        Map<String, SaldoConta> saldos = new SaldoService().calcular(List.of(t));
+        CacheExtrato cache = CacheExtrato.carregar(arquivo, 10);
+
+        PrintStream original = System.out;
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(saida, true, StandardCharsets.UTF_8));
+        try {
+            new ExtratoFormatter(cache).exibirCompleto(saldos);
+        } finally {
+            System.setOut(original);
+        }
+
+        cache.salvar(arquivo);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Arquivo com cabeçalho e entrada válidos, exceto o tamanho do extrato.
+     */
+    private static byte[] arquivoComTamanhoDeExtrato(int tamanho) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(ASSINATURA_ARQUIVO);
+            out.writeInt(1);
+            out.writeUTF("k");
+            out.write(versao(1));
+            out.writeInt(tamanho);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] versao(int semente) {
+        byte[] versao = new byte[32];
+        Arrays.fill(versao, (byte) semente);
+        return versao;
+    }
+
+    private static void verificar(String nome, boolean ok) {
+        if (!ok) {
+            falhas++;
+            System.out.println("FALHA: " + nome);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+import model.FormatoDataHora;
+import model.RegistroCsv;
+import model.ResultadoValidacao;
+import service.ValidadorTransacao;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Classe de teste que compara a conversão de data/hora do ValidadorTransacao
+ * e o FormatoDataHora com os formatadores do java.time que eles substituem.
+ *
+ * @author Gilcimar Matias
+ * @version 3.0
+ */
+public class DataHoraTest {
+
+    private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final DateTimeFormatter EXIBICAO = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
+    private static int falhas = 0;
+
+    public static void main(String[] args) {
+        String[] entradas = {
+                "2022-02-10T10:13:39",
+                "2022-02-10t10:13:39",
+                "2024-02-29T23:59:59",
+                "2023-02-29T10:00:00",
+                "2022-02-30T10:00:00",
+                "2022-13-01T10:00:00",
+                "2022-00-01T10:00:00",
+                "2022-02-10T24:00:00",
+                "2022-02-10T23:60:00",
+                "2022-02-10T23:59:60",
+                "2022-02-10 10:13:39",
+                "2022/02/10T10:13:39",
+                "2022-02-1xT10:13:39",
+                "2022-02-10T10-13-39",
+                "+022-02-10T10:13:39",
+                "0001-01-01T00:00:00",
+                "9999-12-31T23:59:59",
+        };
+        for (String entrada : entradas) {
+            compararConversao(entrada);
+        }
+
+        Random aleatorio = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime dataHora = LocalDateTime.of(1 + aleatorio.nextInt(9999), 1 + aleatorio.nextInt(12),
+                    1 + aleatorio.nextInt(28), aleatorio.nextInt(24), aleatorio.nextInt(60), aleatorio.nextInt(60));
+            compararFormatacao(dataHora);
+            compararConversao(dataHora.format(ISO));
+        }
+
+        if (falhas > 0) {
+            System.out.println(falhas + " caso(s) falharam.");
+            System.exit(1);
+        }
+        System.out.println("Todos os casos passaram.");
+    }
+
+    /**
+     * A linha deve ser aceita exatamente quando o ISO_LOCAL_DATE_TIME aceita,
+     * e com o mesmo LocalDateTime.
+     */
+    private static void compararConversao(String entrada) {
+        LocalDateTime esperado;
+        try {
+            esperado = LocalDateTime.parse(entrada, ISO);
+        } catch (DateTimeParseException e) {
+            esperado = null;
+        }
+
+        String[] campos = {"1", "2", "B", "T", "DEPOSITO", entrada};
+        ResultadoValidacao resultado = new ValidadorTransacao()
+                .validar(List.of(new RegistroCsv(2, campos, null)), false);
+        LocalDateTime obtido = resultado.getValidas().isEmpty() ? null : resultado.getValidas().get(0).getDataHora();
+
+        if (esperado == null ? obtido != null : !esperado.equals(obtido)) {
+            falhas++;
+            System.out.println("FALHA: conversão de " + entrada + " -> esperado " + esperado + ", obtido " + obtido);
+        }
+    }
+
+    private static void compararFormatacao(LocalDateTime dataHora) {
+        String esperado = dataHora.format(EXIBICAO);
+        String obtido = FormatoDataHora.formatar(dataHora);
+        if (!esperado.equals(obtido)) {
+            falhas++;
+            System.out.println("FALHA: formatação de " + dataHora + " -> esperado " + esperado + ", obtido " + obtido);
+        }
+    }
+}
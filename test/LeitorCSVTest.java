@@ -1,3 +1,4 @@
+import model.RegistroCsv;
 import model.ResultadoValidacao;
 import model.SaldoConta;
 import model.Transacao;
@@ -25,7 +26,7 @@ public class LeitorCSVTest {
 
         // 1. Leitura
         LeitorCsv leitor = new LeitorCsv();
-        List<String[]> linhasBrutas = leitor.lerArquivo(caminho);
+        List<RegistroCsv> linhasBrutas = leitor.lerArquivo(caminho);
         System.out.println("Linhas lidas: " + linhasBrutas.size());
 
         // 2. Validação
@@ -0,0 +1,90 @@
+import service.LeitorCsv;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compara o LeitorCsv (tokenizador RFC 4180) com a leitura antiga
+ * (FileReader + split) sobre um CSV sintético só com ASCII e sem aspas.
+ *
+ * @author Gilcimar Matias
+ * @version 3.0
+ */
+public class LeitorCsvBenchmark {
+
+    private static final int RODADAS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int linhas = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path arquivo = gerarArquivo(linhas);
+
+        try {
+            // Aquecimento
+            lerComSplit(arquivo.toString());
+            new LeitorCsv().lerArquivo(arquivo.toString());
+
+            long melhorSplit = Long.MAX_VALUE;
+            long melhorTokenizador = Long.MAX_VALUE;
+
+            for (int i = 0; i < RODADAS; i++) {
+                long inicio = System.nanoTime();
+                int lidasSplit = lerComSplit(arquivo.toString()).size();
+                melhorSplit = Math.min(melhorSplit, System.nanoTime() - inicio);
+
+                inicio = System.nanoTime();
+                int lidasTokenizador = new LeitorCsv().lerArquivo(arquivo.toString()).size();
+                melhorTokenizador = Math.min(melhorTokenizador, System.nanoTime() - inicio);
+
+                if (lidasSplit != lidasTokenizador) {
+                    throw new IllegalStateException("Contagem divergente: " + lidasSplit + " x " + lidasTokenizador);
+                }
+            }
+
+            System.out.printf("Linhas: %d | melhor de %d rodadas%n", linhas, RODADAS);
+            System.out.printf("FileReader + split : %8.1f ms%n", melhorSplit / 1e6);
+            System.out.printf("TokenizadorCsv     : %8.1f ms%n", melhorTokenizador / 1e6);
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    /**
+     * Leitura original do LeitorCsv, mantida aqui como referência.
+     */
+    private static List<String[]> lerComSplit(String caminho) throws IOException {
+        List<String[]> linhas = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(caminho), 1024 * 1024)) {
+            br.readLine();
+            String linha;
+            while ((linha = br.readLine()) != null) {
+                if (!linha.isBlank()) {
+                    linhas.add(linha.split(","));
+                }
+            }
+        }
+        return linhas;
+    }
+
+    private static Path gerarArquivo(int linhas) throws IOException {
+        Path arquivo = Files.createTempFile("bench-operacoes", ".csv");
+        String[] titulares = {"JOAO", "MARIA", "FELIPE", "ANA", "CARLOS"};
+
+        try (BufferedWriter bw = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            bw.write("AGENCIA,CONTA,BANCO,TITULAR,OPERACAO,DATAHORA,VALOR\n");
+            for (int i = 0; i < linhas; i++) {
+                bw.write(String.format("%04d,%04d,SANTANDER,%s,%s,2022-02-%02dT10:%02d:%02d,%d.%02d%n",
+                        1000 + i % 50, i % 10, titulares[i % titulares.length],
+                        i % 3 == 0 ? "SAQUE" : "DEPOSITO",
+                        1 + i % 28, i % 60, (i / 60) % 60, 1 + i % 500, i % 100));
+            }
+        }
+        return arquivo;
+    }
+}
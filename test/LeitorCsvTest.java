@@ -0,0 +1,97 @@
+import model.RegistroCsv;
+import service.LeitorCsv;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Classe de teste para a leitura de CSV compactado em GZIP pelo LeitorCsv.
+ *
+ * @author Gilcimar Matias
+ * @version 3.0
+ */
+public class LeitorCsvTest {
+
+    private static final String CABECALHO = "AGENCIA,CONTA,BANCO,TITULAR,OPERACAO,DATAHORA,VALOR\n";
+    private static final String CORPO =
+            "1520,0001,SANTANDER,JOAO,DEPOSITO,2022-02-07T11:08:10,10.00\n" +
+            "3320,0004,SANTANDER,MARIA,SAQUE,2022-02-11T13:12:55,2.50\n";
+
+    private static int falhas = 0;
+
+    public static void main(String[] args) throws IOException {
+        Path puro = Files.createTempFile("operacoes", ".csv");
+        Path gz = Files.createTempFile("operacoes", ".csv.gz");
+        Path membros = Files.createTempFile("operacoes-membros", ".csv.gz");
+        Path truncado = Files.createTempFile("operacoes-truncado", ".csv.gz");
+
+        try {
+            Files.write(puro, (CABECALHO + CORPO).getBytes(StandardCharsets.UTF_8));
+            List<RegistroCsv> esperado = new LeitorCsv().lerArquivo(puro.toString());
+            verificar("CSV puro", esperado.size() == 2);
+
+            // GZIP com um único membro
+            gravarGzip(gz, CABECALHO + CORPO, false);
+            verificar("GZIP igual ao CSV puro", iguais(esperado, new LeitorCsv().lerArquivo(gz.toString())));
+
+            // Vários membros concatenados: cabeçalho num membro, cada linha em outro
+            gravarGzip(membros, CABECALHO, false);
+            for (String linha : CORPO.split("(?<=\n)")) {
+                gravarGzip(membros, linha, true);
+            }
+            verificar("GZIP com vários membros", iguais(esperado, new LeitorCsv().lerArquivo(membros.toString())));
+
+            // Membro cortado ao meio: nenhuma linha pode ser entregue
+            StringBuilder grande = new StringBuilder(CABECALHO);
+            for (int i = 0; i < 5_000; i++) {
+                grande.append(CORPO);
+            }
+            gravarGzip(truncado, grande.toString(), false);
+            byte[] bytes = Files.readAllBytes(truncado);
+            Files.write(truncado, Arrays.copyOf(bytes, bytes.length / 2));
+            verificar("GZIP truncado não retorna linhas", new LeitorCsv().lerArquivo(truncado.toString()).isEmpty());
+
+        } finally {
+            Files.deleteIfExists(puro);
+            Files.deleteIfExists(gz);
+            Files.deleteIfExists(membros);
+            Files.deleteIfExists(truncado);
+        }
+
+        if (falhas > 0) {
+            System.out.println(falhas + " caso(s) falharam.");
+            System.exit(1);
+        }
+        System.out.println("Todos os casos passaram.");
+    }
+
+    private static void gravarGzip(Path arquivo, String conteudo, boolean anexar) throws IOException {
+        StandardOpenOption modo = anexar ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(arquivo, modo))) {
+            out.write(conteudo.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static boolean iguais(List<RegistroCsv> a, List<RegistroCsv> b) {
+        if (a.size() != b.size()) return false;
+        for (int i = 0; i < a.size(); i++) {
+            if (!Arrays.equals(a.get(i).getCampos(), b.get(i).getCampos())) return false;
+            if (a.get(i).getNumeroLinha() != b.get(i).getNumeroLinha()) return false;
+        }
+        return true;
+    }
+
+    private static void verificar(String nome, boolean ok) {
+        if (!ok) {
+            falhas++;
+            System.out.println("FALHA: " + nome);
+        }
+    }
+}
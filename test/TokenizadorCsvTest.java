@@ -0,0 +1,194 @@
+import model.RegistroCsv;
+import model.ResultadoValidacao;
+import service.LeitorCsv;
+import service.TokenizadorCsv;
+import service.ValidadorTransacao;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classe de teste para o TokenizadorCsv (RFC 4180), a decodificação do LeitorCsv
+ * e os números de linha reportados pelo ValidadorTransacao.
+ * Cada caso roda com a entrada inteira e lida de 1 em 1 caractere,
+ * para exercitar as recargas do buffer no meio de campos, aspas e CRLF.
+ *
+ * @author Gilcimar Matias
+ * @version 3.0
+ */
+public class TokenizadorCsvTest {
+
+    private static int falhas = 0;
+
+    public static void main(String[] args) throws IOException {
+        verificar("linha simples", "a,b,c\n", r("a", "b", "c"));
+        verificar("sem quebra no fim", "a,b", r("a", "b"));
+        verificar("campos vazios no fim", "a,,\n", r("a", "", ""));
+        verificar("CRLF", "a,b\r\nc,d\r\n", r("a", "b"), r("c", "d"));
+        verificar("vírgula entre aspas", "1,\"SILVA, JOSÉ\",x\n", r("1", "SILVA, JOSÉ", "x"));
+        verificar("aspas duplicadas", "\"SAN \"\"X\"\"\",y\n", r("SAN \"X\"", "y"));
+        verificar("quebra de linha entre aspas", "\"ANA\nMULTI\",z\r\nw\n", r("ANA\nMULTI", "z"), r("w"));
+        verificar("CRLF entre aspas", "\"a\r\nb\"\r\n", r("a\r\nb"));
+        verificar("\\r isolado sem aspas", "a\rb\n", r("a\rb"));
+        verificar("\\r isolado entre aspas", "\"a\rb\"\n", r("a\rb"));
+        verificar("\\r no fim sem aspas", "a\r", r("a\r"));
+        verificar("aspas no fim da entrada", "\"a\"\"\"", r("a\""));
+
+        String longo = "x".repeat(100_000);
+        verificar("campo maior que o buffer", longo + ",\"" + longo + "\"\n", r(longo, longo));
+
+        verificarMalformado("texto após aspas de fechamento", "\"a\"b,c\n");
+        verificarMalformado("aspas no meio do campo", "ab\"c\"d,e\n");
+        verificarMalformado("aspas não fechadas", "\"abc,d\n");
+        verificarMalformado("\\r isolado após aspas de fechamento", "\"a\"\rb\n");
+        verificarLinhas("linha física de cada registro",
+                "a\n\"b\nc\",d\r\ne\n\"f\"\"\n\"\ng\n", 1, 2, 4, 5, 7);
+
+        verificarCharsetInvalido();
+        verificarLinhaDoErro();
+
+        if (falhas > 0) {
+            System.out.println(falhas + " caso(s) falharam.");
+            System.exit(1);
+        }
+        System.out.println("Todos os casos passaram.");
+    }
+
+    private static String[] r(String... campos) {
+        return campos;
+    }
+
+    private static void verificar(String nome, String entrada, String[]... esperado) throws IOException {
+        comparar(nome, ler(new StringReader(entrada)), esperado);
+        comparar(nome + " (1 caractere por leitura)", ler(new UmPorVez(new StringReader(entrada))), esperado);
+    }
+
+    private static List<RegistroCsv> ler(Reader reader) throws IOException {
+        TokenizadorCsv tokenizador = new TokenizadorCsv(reader);
+        List<RegistroCsv> registros = new ArrayList<>();
+        RegistroCsv registro;
+        while ((registro = tokenizador.proximoRegistro()) != null) {
+            registros.add(registro);
+        }
+        return registros;
+    }
+
+    private static void comparar(String nome, List<RegistroCsv> obtido, String[][] esperado) {
+        boolean ok = obtido.size() == esperado.length;
+        for (int i = 0; ok && i < esperado.length; i++) {
+            ok = Arrays.equals(obtido.get(i).getCampos(), esperado[i]) && !obtido.get(i).isMalformado();
+        }
+        if (!ok) {
+            falhas++;
+            List<String> textos = new ArrayList<>();
+            obtido.forEach(r -> textos.add(Arrays.toString(r.getCampos()) + (r.isMalformado() ? " (malformado)" : "")));
+            System.out.println("FALHA: " + nome + " -> " + textos);
+        }
+    }
+
+    /**
+     * O registro com aspas fora da RFC deve sair marcado como malformado,
+     * e a leitura deve seguir normalmente na linha seguinte.
+     */
+    private static void verificarMalformado(String nome, String entrada) throws IOException {
+        String completa = entrada + "x,y\n";
+        for (Reader reader : new Reader[]{new StringReader(completa), new UmPorVez(new StringReader(completa))}) {
+            List<RegistroCsv> registros = ler(reader);
+            boolean ok = registros.size() == 2
+                    && registros.get(0).isMalformado()
+                    && !registros.get(1).isMalformado()
+                    && Arrays.equals(registros.get(1).getCampos(), r("x", "y"));
+            if (nome.equals("aspas não fechadas")) {
+                // Sem fechamento, as aspas engolem o resto do arquivo num único registro
+                ok = registros.size() == 1 && registros.get(0).isMalformado();
+            }
+            if (!ok) {
+                falhas++;
+                System.out.println("FALHA: " + nome + " deveria ser malformado");
+                return;
+            }
+        }
+    }
+
+    private static void verificarLinhas(String nome, String entrada, int... esperadas) throws IOException {
+        for (Reader reader : new Reader[]{new StringReader(entrada), new UmPorVez(new StringReader(entrada))}) {
+            int[] obtidas = ler(reader).stream().mapToInt(RegistroCsv::getNumeroLinha).toArray();
+            if (!Arrays.equals(obtidas, esperadas)) {
+                falhas++;
+                System.out.println("FALHA: " + nome + " -> " + Arrays.toString(obtidas));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Depois de um registro com quebra de linha entre aspas, o erro da linha
+     * seguinte deve apontar a linha física do arquivo, e não o índice do registro.
+     */
+    private static void verificarLinhaDoErro() throws IOException {
+        Path arquivo = Files.createTempFile("operacoes-multilinha", ".csv");
+        try {
+            Files.write(arquivo, ("AGENCIA,CONTA,BANCO,TITULAR,OPERACAO,DATAHORA\n" +
+                    "1,2,B,\"ANA\nMARIA\",DEPOSITO,2022-02-10T10:13:39\n" +
+                    "1,2,B,JOAO,PIX,2022-02-10T10:13:39\n" +
+                    "1,2,B,\"JO\"SE,SAQUE,2022-02-10T10:13:39\n").getBytes(StandardCharsets.UTF_8));
+
+            LeitorCsv leitor = new LeitorCsv();
+            ResultadoValidacao resultado = new ValidadorTransacao()
+                    .validar(leitor.lerArquivo(arquivo.toString()), leitor.isTemColunaValor());
+
+            List<String> erros = resultado.getErros();
+            if (erros.size() != 2 || !erros.get(0).startsWith("Linha 4:") || !erros.get(1).startsWith("Linha 5: Aspas")) {
+                falhas++;
+                System.out.println("FALHA: linha reportada nos erros -> " + erros);
+            }
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    /**
+     * Um arquivo ISO-8859-1 lido como UTF-8 deve falhar, e não virar "JOS�".
+     */
+    private static void verificarCharsetInvalido() throws IOException {
+        Path arquivo = Files.createTempFile("operacoes-latin1", ".csv");
+        try {
+            Files.write(arquivo, "AGENCIA,CONTA,BANCO,TITULAR\n1,2,B,JOSÉ\n".getBytes(StandardCharsets.ISO_8859_1));
+
+            if (!new LeitorCsv(StandardCharsets.UTF_8).lerArquivo(arquivo.toString()).isEmpty()) {
+                falhas++;
+                System.out.println("FALHA: ISO-8859-1 lido como UTF-8 deveria ser rejeitado");
+            }
+
+            List<RegistroCsv> linhas = new LeitorCsv(StandardCharsets.ISO_8859_1).lerArquivo(arquivo.toString());
+            if (linhas.size() != 1 || !linhas.get(0).getCampos()[3].equals("JOSÉ")) {
+                falhas++;
+                System.out.println("FALHA: ISO-8859-1 lido com o charset correto");
+            }
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    /**
+     * Reader que entrega no máximo um caractere por chamada.
+     */
+    private static class UmPorVez extends FilterReader {
+        UmPorVez(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            return super.read(cbuf, off, Math.min(len, 1));
+        }
+    }
+}